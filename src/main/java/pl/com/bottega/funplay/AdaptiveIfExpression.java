@@ -0,0 +1,203 @@
+package pl.com.bottega.funplay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiled if / else-if chain evaluated against an input, which tests its most frequently taken branches first.
+ * <pre>
+ * var rule = AdaptiveIfExpression.If(isPremium, Integer.class).Then(10)
+ *     .ElsIf(isRegular).Then(order -&gt; order.items())
+ *     .Else(0);
+ * rule.apply(order);
+ * </pre>
+ * Hits of each branch are counted and, roughly every {@code replanInterval} evaluations, the branches are re-sorted
+ * by their hit counts, ties kept in declared order. The new order is published with a volatile write, so evaluations
+ * never block. The result is always the one of the declared chain: when a condition matches, the earlier-declared
+ * conditions not tested yet are tested in declared order and the first of them that matches wins. Conditions must
+ * therefore be side-effect-free, as they may be tested in any order.
+ * <p>
+ * That cross-check makes a hot late branch cost as many condition tests as in declared order. Chains whose
+ * conditions never match the same input can opt out of it with {@link #exclusive()}, so that the first match in
+ * the current order wins and a hot branch costs a single test.
+ */
+public final class AdaptiveIfExpression<C, V> {
+
+    private static final int DEFAULT_REPLAN_INTERVAL = 1024;
+
+    private final List<Predicate<C>> conditions;
+    private final List<Function<C, V>> branches;
+    private final Function<C, V> otherwise;
+    private final LongAdder[] hits;
+    private final int replanInterval;
+    private final boolean exclusive;
+    private final AtomicBoolean replanning = new AtomicBoolean();
+    private volatile Plan plan;
+
+    private AdaptiveIfExpression(List<Predicate<C>> conditions, List<Function<C, V>> branches,
+                                 Function<C, V> otherwise, int replanInterval, boolean exclusive) {
+        this.conditions = conditions;
+        this.branches = branches;
+        this.otherwise = otherwise;
+        this.replanInterval = replanInterval;
+        this.exclusive = exclusive;
+        this.hits = new LongAdder[conditions.size()];
+        var declaredOrder = new int[conditions.size()];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = new LongAdder();
+            declaredOrder[i] = i;
+        }
+        this.plan = new Plan(declaredOrder);
+    }
+
+    public static <C, V> ConditionExpression<C, V> If(Predicate<C> condition, Class<V> valueClass) {
+        return new ConditionExpression<>(FunList.empty(), FunList.empty(), condition);
+    }
+
+    public V apply(C input) {
+        if (ThreadLocalRandom.current().nextInt(replanInterval) == 0) {
+            replan();
+        }
+        var current = plan;
+        for (int position = 0; position < current.order.length; position++) {
+            int branch = current.order[position];
+            if (conditions.get(branch).test(input)) {
+                int winner = exclusive ? branch : firstEarlierMatch(current, position, branch, input);
+                hits[winner].increment();
+                return branches.get(winner).apply(input);
+            }
+        }
+        return otherwise.apply(input);
+    }
+
+    /**
+     * Finds the branch the declared chain would take, given that {@code matched} matched at the given plan position
+     * and all branches tested before it did not.
+     */
+    private int firstEarlierMatch(Plan current, int position, int matched, C input) {
+        for (int branch = 0; branch < matched; branch++) {
+            if (current.positions[branch] > position && conditions.get(branch).test(input)) {
+                return branch;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Returns a copy of this expression, with fresh hit counts, that re-sorts its branches roughly every given number
+     * of evaluations.
+     */
+    public AdaptiveIfExpression<C, V> replanEvery(Integer evaluations) {
+        if (evaluations <= 0) {
+            throw new IllegalArgumentException("Replan interval must be positive, was " + evaluations);
+        }
+        return new AdaptiveIfExpression<>(conditions, branches, otherwise, evaluations, exclusive);
+    }
+
+    /**
+     * Returns a copy of this expression, with fresh hit counts, that takes the first matching branch in its current
+     * order without checking earlier-declared conditions. Only valid if no input matches more than one condition,
+     * otherwise the result may change as branches are re-sorted.
+     */
+    public AdaptiveIfExpression<C, V> exclusive() {
+        return new AdaptiveIfExpression<>(conditions, branches, otherwise, replanInterval, true);
+    }
+
+    /**
+     * Declared indexes of the branches in the order they are currently tested.
+     */
+    FunList<Integer> evaluationOrder() {
+        return FunList.of(Arrays.stream(plan.order).boxed().toArray(Integer[]::new));
+    }
+
+    private void replan() {
+        if (!replanning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            var counts = new long[hits.length];
+            var order = new Integer[hits.length];
+            for (int i = 0; i < hits.length; i++) {
+                counts[i] = hits[i].sum();
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong((Integer branch) -> counts[branch]).reversed());
+            plan = new Plan(Arrays.stream(order).mapToInt(Integer::intValue).toArray());
+        } finally {
+            replanning.set(false);
+        }
+    }
+
+    /**
+     * Order in which branches are tested, with the position of each declared branch in that order.
+     */
+    private static final class Plan {
+        private final int[] order;
+        private final int[] positions;
+
+        Plan(int[] order) {
+            this.order = order;
+            this.positions = new int[order.length];
+            for (int position = 0; position < order.length; position++) {
+                positions[order[position]] = position;
+            }
+        }
+    }
+
+    public static final class ConditionExpression<C, V> {
+        private final FunList<Predicate<C>> conditions;
+        private final FunList<Function<C, V>> branches;
+        private final Predicate<C> condition;
+
+        private ConditionExpression(FunList<Predicate<C>> conditions, FunList<Function<C, V>> branches,
+                                    Predicate<C> condition) {
+            this.conditions = conditions;
+            this.branches = branches;
+            this.condition = condition;
+        }
+
+        public ThenExpression<C, V> Then(V value) {
+            return Then(input -> value);
+        }
+
+        public ThenExpression<C, V> Then(Function<C, V> valueFunction) {
+            return new ThenExpression<>(conditions.append(condition), branches.append(valueFunction));
+        }
+    }
+
+    public static final class ThenExpression<C, V> {
+        private final FunList<Predicate<C>> conditions;
+        private final FunList<Function<C, V>> branches;
+
+        private ThenExpression(FunList<Predicate<C>> conditions, FunList<Function<C, V>> branches) {
+            this.conditions = conditions;
+            this.branches = branches;
+        }
+
+        public ConditionExpression<C, V> ElsIf(Predicate<C> condition) {
+            return new ConditionExpression<>(conditions, branches, condition);
+        }
+
+        public AdaptiveIfExpression<C, V> Else(V value) {
+            return Else(input -> value);
+        }
+
+        public AdaptiveIfExpression<C, V> Else(Function<C, V> valueFunction) {
+            return new AdaptiveIfExpression<>(toList(conditions), toList(branches), valueFunction,
+                DEFAULT_REPLAN_INTERVAL, false);
+        }
+
+        private static <T> List<T> toList(FunList<T> list) {
+            var elements = new ArrayList<T>(list.size());
+            list.foreach(elements::add);
+            return List.copyOf(elements);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package pl.com.bottega.funplay;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a mapper over elements concurrently, for {@link FunList#mapAsync(Function, Integer, Duration)}. Uses one
+ * virtual thread per element, gated by a semaphore, when the JDK provides them, and a fixed pool of daemon threads
+ * otherwise. The executor lives only for the duration of a single call.
+ */
+final class AsyncMapping {
+
+    private static final MethodHandle VIRTUAL_THREAD_EXECUTOR = virtualThreadExecutorFactory();
+
+    private AsyncMapping() {
+    }
+
+    static void checkConcurrencyLimit(Integer concurrencyLimit) {
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive, was " + concurrencyLimit);
+        }
+    }
+
+    /**
+     * Maps all elements, keeping their order. The first failure, or running past the timeout, cancels the remaining
+     * work. Mapper exceptions are rethrown as they are; a timeout fails with a {@link CompletionException} caused by
+     * a {@link TimeoutException}. A {@code null} timeout waits indefinitely. Before returning or failing, waits for
+     * cancelled mappers to stop, as long as the timeout allows.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, S> Object[] map(Object[] elements, Function<T, S> mapper, int concurrencyLimit, Duration timeout) {
+        checkConcurrencyLimit(concurrencyLimit);
+        var results = new Object[elements.length];
+        if (elements.length == 0) {
+            return results;
+        }
+        var deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        var remaining = new AtomicInteger(elements.length);
+        var completion = new CompletableFuture<Void>();
+        var virtualThreads = newVirtualThreadExecutor();
+        var executor = virtualThreads != null
+            ? virtualThreads
+            : newBoundedExecutor(Math.min(concurrencyLimit, elements.length));
+        var permits = virtualThreads != null ? new Semaphore(concurrencyLimit) : null;
+        try {
+            for (int i = 0; i < elements.length; i++) {
+                var index = i;
+                executor.execute(() -> {
+                    try {
+                        if (permits != null) {
+                            permits.acquire();
+                        }
+                        try {
+                            results[index] = mapper.apply((T) elements[index]);
+                        } finally {
+                            if (permits != null) {
+                                permits.release();
+                            }
+                        }
+                        if (remaining.decrementAndGet() == 0) {
+                            completion.complete(null);
+                        }
+                    } catch (Throwable e) {
+                        completion.completeExceptionally(e);
+                    }
+                });
+            }
+            await(completion, timeout);
+            return results;
+        } finally {
+            shutdown(executor, timeout == null ? Long.MAX_VALUE : deadline - System.nanoTime());
+        }
+    }
+
+    private static void shutdown(ExecutorService executor, long timeoutNanos) {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(Math.max(timeoutNanos, 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CompletableFuture<Void> completion, Duration timeout) {
+        try {
+            if (timeout == null) {
+                completion.get();
+            } else {
+                completion.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        } catch (TimeoutException e) {
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private static ExecutorService newBoundedExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "funlist-map-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_THREAD_EXECUTOR == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle virtualThreadExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package pl.com.bottega.funplay;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe holder of an evolving {@link FunList}. Appends and prepends are queued instead of being applied with
+ * a CAS retry loop. Whichever thread takes the combiner lock applies all queued updates at once: prepends one by one,
+ * then appends joined into a single {@link FunList#concat(FunList)}. The result is published as a new snapshot.
+ * <p>
+ * A combine is triggered when the number of queued updates reaches {@code maxPendingUpdates}. {@link #get()} never
+ * returns a snapshot missing an update queued longer than {@code maxStaleness} ago.
+ */
+public final class AtomicFunList<T> {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final int maxPendingUpdates;
+    private final long maxStalenessNanos;
+    private final ConcurrentLinkedQueue<Update<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong oldestPendingNanos = new AtomicLong(NONE);
+    private final ReentrantLock combiner = new ReentrantLock();
+    private volatile FunList<T> snapshot;
+
+    private AtomicFunList(FunList<T> initial, int maxPendingUpdates, long maxStalenessNanos) {
+        this.snapshot = initial;
+        this.maxPendingUpdates = maxPendingUpdates;
+        this.maxStalenessNanos = maxStalenessNanos;
+    }
+
+    public static <T> AtomicFunList<T> of(FunList<T> initial) {
+        return of(initial, 64, Duration.ZERO);
+    }
+
+    public static <T> AtomicFunList<T> of(FunList<T> initial, Integer maxPendingUpdates, Duration maxStaleness) {
+        if (maxPendingUpdates <= 0) {
+            throw new IllegalArgumentException("Max pending updates must be positive, was " + maxPendingUpdates);
+        }
+        if (maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Max staleness must not be negative, was " + maxStaleness);
+        }
+        return new AtomicFunList<>(initial, maxPendingUpdates, maxStaleness.toNanos());
+    }
+
+    public void append(T element) {
+        enqueue(new Update<>(element, true));
+    }
+
+    public void prepend(T element) {
+        enqueue(new Update<>(element, false));
+    }
+
+    /**
+     * Returns the latest snapshot, combining queued updates first if the oldest of them exceeds the staleness limit.
+     */
+    public FunList<T> get() {
+        if (pendingCount.get() == 0) {
+            return snapshot;
+        }
+        var oldest = oldestPendingNanos.get();
+        if (oldest == NONE || System.nanoTime() - oldest >= maxStalenessNanos) {
+            return flush();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Applies all queued updates and returns the resulting snapshot.
+     */
+    public FunList<T> flush() {
+        combiner.lock();
+        try {
+            combine();
+        } finally {
+            combiner.unlock();
+        }
+        return snapshot;
+    }
+
+    private void enqueue(Update<T> update) {
+        var count = pendingCount.incrementAndGet();
+        pending.add(update);
+        if (oldestPendingNanos.get() == NONE) {
+            oldestPendingNanos.compareAndSet(NONE, System.nanoTime());
+        }
+        if (count >= maxPendingUpdates && combiner.tryLock()) {
+            try {
+                combine();
+            } finally {
+                combiner.unlock();
+            }
+        }
+    }
+
+    /**
+     * Updates are counted before they are queued and uncounted only after the snapshot containing them is published,
+     * so {@link #get()} seeing no pending updates means every completed update is visible. The age marker is cleared
+     * after publishing and restamped if updates are still pending; a missing marker is treated as stale.
+     */
+    private void combine() {
+        var current = snapshot;
+        var appended = new ArrayList<T>();
+        int drained = 0;
+        Update<T> update;
+        while ((update = pending.poll()) != null) {
+            drained++;
+            if (update.append) {
+                appended.add(update.element);
+            } else {
+                current = current.prepend(update.element);
+            }
+        }
+        if (drained == 0) {
+            return;
+        }
+        snapshot = current.concat(NonEmptyList.build(appended.toArray(), 0, appended.size(), FunList.empty()));
+        oldestPendingNanos.set(NONE);
+        if (pendingCount.addAndGet(-drained) > 0) {
+            oldestPendingNanos.compareAndSet(NONE, System.nanoTime());
+        }
+    }
+
+    private static final class Update<T> {
+        private final T element;
+        private final boolean append;
+
+        Update(T element, boolean append) {
+            this.element = element;
+            this.append = append;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package pl.com.bottega.funplay;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+final class EmptyList<T> implements FunList<T> {
+
+    private static final EmptyList<?> INSTANCE = new EmptyList<>();
+
+    private EmptyList() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> EmptyList<T> instance() {
+        return (EmptyList<T>) INSTANCE;
+    }
+
+    @Override
+    public FunList<T> append(T element) {
+        return new NonEmptyList<>(element, this);
+    }
+
+    @Override
+    public FunList<T> prepend(T element) {
+        return new NonEmptyList<>(element, this);
+    }
+
+    @Override
+    public FunList<T> concat(FunList<T> other) {
+        return other;
+    }
+
+    @Override
+    public FunList<T> reverse() {
+        return this;
+    }
+
+    @Override
+    public FunList<T> remove(T element) {
+        return this;
+    }
+
+    @Override
+    public Optional<T> find(Predicate<T> predicate) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Integer size() {
+        return 0;
+    }
+
+    @Override
+    public Optional<T> get(Integer index) {
+        return Optional.empty();
+    }
+
+    @Override
+    public FunList<T> filter(Predicate<T> predicate) {
+        return this;
+    }
+
+    @Override
+    public Optional<T> first() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<T> last() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void foreach(Consumer<T> consumer) {
+    }
+
+    @Override
+    public FunList<T> slice(Integer start, Integer end) {
+        return this;
+    }
+
+    @Override
+    public <S> FunList<S> map(Function<T, S> mapper) {
+        return instance();
+    }
+
+    @Override
+    public <S> FunList<S> flatMap(Function<T, FunList<S>> mapper) {
+        return instance();
+    }
+
+    @Override
+    public <S> FunList<S> mapAsync(Function<T, S> mapper, Integer concurrencyLimit) {
+        return mapAsync(mapper, concurrencyLimit, null);
+    }
+
+    @Override
+    public <S> FunList<S> mapAsync(Function<T, S> mapper, Integer concurrencyLimit, Duration timeout) {
+        AsyncMapping.checkConcurrencyLimit(concurrencyLimit);
+        return instance();
+    }
+
+    @Override
+    public <S> FunList<S> flatMapAsync(Function<T, FunList<S>> mapper, Integer concurrencyLimit) {
+        return flatMapAsync(mapper, concurrencyLimit, null);
+    }
+
+    @Override
+    public <S> FunList<S> flatMapAsync(Function<T, FunList<S>> mapper, Integer concurrencyLimit, Duration timeout) {
+        AsyncMapping.checkConcurrencyLimit(concurrencyLimit);
+        return instance();
+    }
+
+    @Override
+    public <S> S foldLeft(S initial, BiFunction<S, T, S> op) {
+        return initial;
+    }
+
+    @Override
+    public <S> S foldRight(S initial, BiFunction<S, T, S> op) {
+        return initial;
+    }
+
+    @Override
+    public <S> S foldLeftWhile(S initial, BiFunction<S, T, S> op, Predicate<S> continuePredicate) {
+        return initial;
+    }
+
+    @Override
+    public <S> S reduceUntil(S initial, BiFunction<S, T, Reduced<S>> op) {
+        return initial;
+    }
+
+    @Override
+    public Optional<T> foldLeft(BinaryOperator<T> op) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<T> foldRight(BinaryOperator<T> op) {
+        return Optional.empty();
+    }
+
+    @Override
+    public <S, R> FunList<R> zip(FunList<S> other, BiFunction<T, S, R> zipper) {
+        return instance();
+    }
+
+    @Override
+    public <K extends Comparable<? super K>> FunList<T> sortBy(Function<T, K> keyExtractor) {
+        return this;
+    }
+
+    @Override
+    public <K> Map<K, FunList<T>> groupBy(Function<T, K> classifier) {
+        return Map.of();
+    }
+
+    @Override
+    public FunList<T> distinct() {
+        return this;
+    }
+
+    @Override
+    public FunList<FunList<T>> windowed(Integer size) {
+        NonEmptyList.checkWindowSize(size);
+        return instance();
+    }
+
+    @Override
+    public FunListDiff diff(FunList<T> other) {
+        return FunListDiff.between(this, other);
+    }
+
+    @Override
+    public String toString() {
+        return "[]";
+    }
+}
@@ -1,6 +1,7 @@
 package pl.com.bottega.funplay;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
@@ -11,11 +12,11 @@ import java.util.function.Predicate;
 public interface FunList<T> {
 
     static <T> FunList<T> of(T... elements) {
-        return Arrays.stream(elements).reduce(FunList.empty(), FunList::append, FunList::concat);
+        return NonEmptyList.build(elements, 0, elements.length, FunList.empty());
     }
 
     static <T> FunList<T> empty() {
-        return null;
+        return EmptyList.instance();
     }
 
     FunList<T> append(T element);
@@ -48,11 +49,73 @@ public interface FunList<T> {
 
     <S> FunList<S> flatMap(Function<T, FunList<S>> mapper);
 
+    /**
+     * Maps elements concurrently, with at most {@code concurrencyLimit} mappers running at once, on virtual threads
+     * when the JDK provides them. The result keeps the order of the elements. The first exception thrown by the
+     * mapper cancels the remaining work and is rethrown.
+     */
+    <S> FunList<S> mapAsync(Function<T, S> mapper, Integer concurrencyLimit);
+
+    /**
+     * Same as {@link #mapAsync(Function, Integer)}, but fails with a {@link java.util.concurrent.CompletionException}
+     * caused by a {@link java.util.concurrent.TimeoutException} and cancels the remaining work if mapping all elements
+     * takes longer than the timeout.
+     */
+    <S> FunList<S> mapAsync(Function<T, S> mapper, Integer concurrencyLimit, Duration timeout);
+
+    <S> FunList<S> flatMapAsync(Function<T, FunList<S>> mapper, Integer concurrencyLimit);
+
+    <S> FunList<S> flatMapAsync(Function<T, FunList<S>> mapper, Integer concurrencyLimit, Duration timeout);
+
     <S> S foldLeft(S initial, BiFunction<S, T, S> op);
 
     <S> S foldRight(S initial, BiFunction<S, T, S> op);
 
+    /**
+     * Folds from the left for as long as the accumulator satisfies the predicate. The predicate is checked before
+     * each element, so elements after the first failing accumulator are never visited.
+     */
+    <S> S foldLeftWhile(S initial, BiFunction<S, T, S> op, Predicate<S> continuePredicate);
+
+    /**
+     * Folds from the left until a step returns {@link Reduced#done(Object)}, whose value becomes the result.
+     */
+    <S> S reduceUntil(S initial, BiFunction<S, T, Reduced<S>> op);
+
     Optional<T> foldLeft(BinaryOperator<T> op);
 
     Optional<T> foldRight(BinaryOperator<T> op);
-}
\ No newline at end of file
+
+    /**
+     * Combines elements at the same positions of both lists. The result is as long as the shorter list.
+     */
+    <S, R> FunList<R> zip(FunList<S> other, BiFunction<T, S, R> zipper);
+
+    /**
+     * Stable sort by the extracted key over one array copy of the elements.
+     */
+    <K extends Comparable<? super K>> FunList<T> sortBy(Function<T, K> keyExtractor);
+
+    /**
+     * Groups elements by the classifier result. Groups keep the list order and the returned map is unmodifiable,
+     * iterating keys in the order of their first occurrence.
+     */
+    <K> Map<K, FunList<T>> groupBy(Function<T, K> classifier);
+
+    /**
+     * Removes repeated elements, keeping the first occurrence of each.
+     */
+    FunList<T> distinct();
+
+    /**
+     * Returns all sublists of the given size, sliding by one element. A list shorter than the window has no windows.
+     */
+    FunList<FunList<T>> windowed(Integer size);
+
+    /**
+     * Compares this list with a newer version of it. The common prefix is skipped in a single walk and a suffix
+     * shared by both lists (e.g. after prepend or remove) is found by identity, without comparing its elements.
+     * Only the remaining middle part is diffed, in time proportional to its length times the number of edits.
+     */
+    FunListDiff diff(FunList<T> other);
+}
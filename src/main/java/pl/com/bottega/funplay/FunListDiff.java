@@ -0,0 +1,282 @@
+package pl.com.bottega.funplay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Difference between two versions of a {@link FunList}. Removed ranges index the source list and inserted ranges
+ * index the target list. Ranges are inclusive on both ends, the same way as in {@link FunList#slice(Integer, Integer)}.
+ */
+public final class FunListDiff {
+
+    private final FunList<Range> removed;
+    private final FunList<Range> inserted;
+
+    private FunListDiff(FunList<Range> removed, FunList<Range> inserted) {
+        this.removed = removed;
+        this.inserted = inserted;
+    }
+
+    public FunList<Range> removed() {
+        return removed;
+    }
+
+    public FunList<Range> inserted() {
+        return inserted;
+    }
+
+    public boolean isEmpty() {
+        return removed.size() == 0 && inserted.size() == 0;
+    }
+
+    static FunListDiff between(FunList<?> source, FunList<?> target) {
+        var left = source.size() == 0 ? null : (NonEmptyList<?>) source;
+        var right = target.size() == 0 ? null : (NonEmptyList<?>) target;
+        int prefix = 0;
+        while (left != null && right != null && left != right && Objects.equals(left.head(), right.head())) {
+            left = left.next();
+            right = right.next();
+            prefix++;
+        }
+        if (left == right) {
+            return new FunListDiff(FunList.empty(), FunList.empty());
+        }
+        int sharedSuffix = sharedSuffixSize(left, right);
+        var sourceMiddle = toArray(left, size(left) - sharedSuffix);
+        var targetMiddle = toArray(right, size(right) - sharedSuffix);
+        return myers(sourceMiddle, targetMiddle, prefix);
+    }
+
+    private static int size(NonEmptyList<?> node) {
+        return node == null ? 0 : node.size();
+    }
+
+    private static int sharedSuffixSize(NonEmptyList<?> left, NonEmptyList<?> right) {
+        for (int skip = size(left) - size(right); skip > 0; skip--) {
+            left = left.next();
+        }
+        for (int skip = size(right) - size(left); skip > 0; skip--) {
+            right = right.next();
+        }
+        while (left != right) {
+            left = left.next();
+            right = right.next();
+        }
+        return size(left);
+    }
+
+    private static Object[] toArray(NonEmptyList<?> node, int length) {
+        var elements = new Object[length];
+        for (int i = 0; i < length; i++, node = node.next()) {
+            elements[i] = node.head();
+        }
+        return elements;
+    }
+
+    private static FunListDiff myers(Object[] source, Object[] target, int offset) {
+        var edits = new Edits(source, target);
+        edits.diff(0, source.length, 0, target.length);
+        return new FunListDiff(edits.ranges(edits.removed, offset), edits.ranges(edits.inserted, offset));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FunListDiff)) {
+            return false;
+        }
+        var other = (FunListDiff) o;
+        return removed.equals(other.removed) && inserted.equals(other.inserted);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(removed, inserted);
+    }
+
+    @Override
+    public String toString() {
+        return "FunListDiff{removed=" + removed + ", inserted=" + inserted + "}";
+    }
+
+    public static final class Range {
+
+        private final int start;
+        private final int end;
+
+        private Range(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public static Range of(int start, int end) {
+            return new Range(start, end);
+        }
+
+        public int start() {
+            return start;
+        }
+
+        public int end() {
+            return end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Range)) {
+                return false;
+            }
+            var other = (Range) o;
+            return start == other.start && end == other.end;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * start + end;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ".." + end + "]";
+        }
+    }
+
+    /**
+     * Linear-space variant of Myers' algorithm: finds the middle snake of the shortest edit script with a forward and
+     * a backward search and recurses on both halves, marking removed and inserted elements. Memory stays O(N + M)
+     * however large the edit distance is.
+     */
+    private static final class Edits {
+
+        private final Object[] source;
+        private final Object[] target;
+        private final boolean[] removed;
+        private final boolean[] inserted;
+
+        Edits(Object[] source, Object[] target) {
+            this.source = source;
+            this.target = target;
+            this.removed = new boolean[source.length];
+            this.inserted = new boolean[target.length];
+        }
+
+        void diff(int sourceStart, int sourceEnd, int targetStart, int targetEnd) {
+            while (sourceStart < sourceEnd && targetStart < targetEnd
+                && Objects.equals(source[sourceStart], target[targetStart])) {
+                sourceStart++;
+                targetStart++;
+            }
+            while (sourceStart < sourceEnd && targetStart < targetEnd
+                && Objects.equals(source[sourceEnd - 1], target[targetEnd - 1])) {
+                sourceEnd--;
+                targetEnd--;
+            }
+            if (sourceStart == sourceEnd || targetStart == targetEnd) {
+                Arrays.fill(removed, sourceStart, sourceEnd, true);
+                Arrays.fill(inserted, targetStart, targetEnd, true);
+                return;
+            }
+            var split = middleSnake(sourceStart, sourceEnd, targetStart, targetEnd);
+            if (split == null) {
+                Arrays.fill(removed, sourceStart, sourceEnd, true);
+                Arrays.fill(inserted, targetStart, targetEnd, true);
+                return;
+            }
+            diff(sourceStart, sourceStart + split[0], targetStart, targetStart + split[1]);
+            diff(sourceStart + split[0], sourceEnd, targetStart + split[1], targetEnd);
+        }
+
+        /**
+         * Returns the point, relative to the starts, where the forward and backward searches first overlap.
+         */
+        private int[] middleSnake(int sourceStart, int sourceEnd, int targetStart, int targetEnd) {
+            int n = sourceEnd - sourceStart;
+            int m = targetEnd - targetStart;
+            int maxD = (n + m + 1) / 2;
+            int offset = maxD;
+            var forward = new int[2 * maxD + 2];
+            var backward = new int[2 * maxD + 2];
+            Arrays.fill(forward, -1);
+            Arrays.fill(backward, -1);
+            forward[offset + 1] = 0;
+            backward[offset + 1] = 0;
+            int delta = n - m;
+            boolean overlapsForward = delta % 2 != 0;
+            int forwardStart = 0;
+            int forwardEnd = 0;
+            int backwardStart = 0;
+            int backwardEnd = 0;
+            for (int d = 0; d < maxD; d++) {
+                for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+                    int x = k == -d || k != d && forward[offset + k - 1] < forward[offset + k + 1]
+                        ? forward[offset + k + 1]
+                        : forward[offset + k - 1] + 1;
+                    int y = x - k;
+                    while (x < n && y < m && Objects.equals(source[sourceStart + x], target[targetStart + y])) {
+                        x++;
+                        y++;
+                    }
+                    forward[offset + k] = x;
+                    if (x > n) {
+                        forwardEnd += 2;
+                    } else if (y > m) {
+                        forwardStart += 2;
+                    } else if (overlapsForward) {
+                        int backwardK = offset + delta - k;
+                        if (backwardK >= 0 && backwardK < backward.length && backward[backwardK] != -1
+                            && x >= n - backward[backwardK]) {
+                            return new int[]{x, y};
+                        }
+                    }
+                }
+                for (int k = -d + backwardStart; k <= d - backwardEnd; k += 2) {
+                    int x = k == -d || k != d && backward[offset + k - 1] < backward[offset + k + 1]
+                        ? backward[offset + k + 1]
+                        : backward[offset + k - 1] + 1;
+                    int y = x - k;
+                    while (x < n && y < m
+                        && Objects.equals(source[sourceEnd - x - 1], target[targetEnd - y - 1])) {
+                        x++;
+                        y++;
+                    }
+                    backward[offset + k] = x;
+                    if (x > n) {
+                        backwardEnd += 2;
+                    } else if (y > m) {
+                        backwardStart += 2;
+                    } else if (!overlapsForward) {
+                        int forwardK = offset + delta - k;
+                        if (forwardK >= 0 && forwardK < forward.length && forward[forwardK] != -1) {
+                            int forwardX = forward[forwardK];
+                            int forwardY = offset + forwardX - forwardK;
+                            if (forwardX >= n - x) {
+                                return new int[]{forwardX, forwardY};
+                            }
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        FunList<Range> ranges(boolean[] edited, int offset) {
+            var ranges = new ArrayList<Range>();
+            for (int i = 0; i < edited.length; i++) {
+                if (edited[i]) {
+                    int start = i;
+                    while (i + 1 < edited.length && edited[i + 1]) {
+                        i++;
+                    }
+                    ranges.add(Range.of(start + offset, i + offset));
+                }
+            }
+            return FunList.of(ranges.toArray(new Range[0]));
+        }
+    }
+}
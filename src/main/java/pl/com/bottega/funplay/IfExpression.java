@@ -5,77 +5,121 @@ import java.util.function.Supplier;
 
 public final class IfExpression<V> {
 
+    private final boolean condition;
+    private final Supplier<V> matched;
+
+    private IfExpression(boolean condition, Supplier<V> matched) {
+        this.condition = condition;
+        this.matched = matched;
+    }
+
     public static <V> IfExpression<V> If(boolean condition, Class<V> valueClass) {
-        return null;
+        return new IfExpression<>(condition, null);
     }
 
     public static <V> IfExpression<V> If(boolean condition) {
-        return null;
+        return new IfExpression<>(condition, null);
     }
 
     public ValueThenExpression Then(V value) {
-        return null;
+        return new ValueThenExpression(value);
     }
 
     public RunnableThenExpression Then(Runnable runnable) {
-        return null;
+        if (takesThenBranch()) {
+            runnable.run();
+        }
+        return new RunnableThenExpression();
     }
 
     public SuppliedThenExpression Then(Supplier<V> valueSupplier) {
-        return null;
+        return new SuppliedThenExpression(valueSupplier);
     }
 
     public Optional<V> ThenReturn(Supplier<V> supplier) {
-        return null;
+        if (matched != null) {
+            return Optional.ofNullable(matched.get());
+        }
+        return condition ? Optional.ofNullable(supplier.get()) : Optional.empty();
     }
 
     public Optional<V> ThenReturn(V value) {
-        return null;
+        return ThenReturn(() -> value);
     }
 
     public void ThenRun(Runnable toRun) {
+        if (takesThenBranch()) {
+            toRun.run();
+        }
+    }
+
+    private boolean takesThenBranch() {
+        return matched == null && condition;
+    }
 
+    private Supplier<V> matchedWith(Supplier<V> thenBranch) {
+        if (matched != null) {
+            return matched;
+        }
+        return condition ? thenBranch : null;
     }
 
     public class ValueThenExpression {
         private V value;
 
+        private ValueThenExpression(V value) {
+            this.value = value;
+        }
+
         public V Else(V value) {
-            return null;
+            return Else(() -> value);
         }
 
         public V Else(Supplier<V> supplier) {
-            return null;
+            var result = matchedWith(() -> this.value);
+            return result != null ? result.get() : supplier.get();
         }
 
         public IfExpression<V> ElsIf(Boolean condition) {
-            return null;
+            return new IfExpression<>(condition, matchedWith(() -> value));
         }
 
     }
 
     public class SuppliedThenExpression {
+        private final Supplier<V> supplier;
+
+        private SuppliedThenExpression(Supplier<V> supplier) {
+            this.supplier = supplier;
+        }
 
         public V Else(Supplier<V> supplier) {
-            return null;
+            var result = matchedWith(this.supplier);
+            return result != null ? result.get() : supplier.get();
         }
 
         public V Else(V value) {
-            return null;
+            return Else(() -> value);
         }
 
         public IfExpression<V> ElsIf(Boolean condition) {
-            return null;
+            return new IfExpression<>(condition, matchedWith(supplier));
         }
     }
 
     public class RunnableThenExpression {
 
+        private RunnableThenExpression() {
+        }
+
         public void Else(Runnable toRun) {
+            if (matchedWith(() -> null) == null) {
+                toRun.run();
+            }
         }
 
         public IfExpression<V> ElseIf(boolean condition) {
-            return null;
+            return new IfExpression<>(condition, matchedWith(() -> null));
         }
     }
 }
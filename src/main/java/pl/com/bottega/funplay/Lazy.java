@@ -1,29 +1,145 @@
 package pl.com.bottega.funplay;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 public class Lazy<T> {
 
+    private static final Map<Thread, Lazy<?>> WAITING = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Class<?> supplierClass;
+    private final Object lock = new Object();
+    private volatile boolean evaluated;
+    private volatile Thread initializingThread;
+    private Supplier<? extends T> supplier;
+    private T value;
+
+    private Lazy(String name, Supplier<? extends T> supplier) {
+        this.name = name;
+        this.supplier = supplier;
+        this.supplierClass = supplier.getClass();
+    }
+
     public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
-        return null;
+        return new Lazy<>(null, supplier);
+    }
+
+    /**
+     * Creates a lazy value labelled with the given name. The name is reported in the {@link LazyInitEvent}
+     * and {@link LazyWaitEvent} flight recorder events, so slow or contended initializations can be told apart.
+     */
+    public static <T> Lazy<T> of(String name, Supplier<? extends T> supplier) {
+        return new Lazy<>(name, supplier);
+    }
+
+    /**
+     * Combines the values of all given lazies into a list, without evaluating any of them until the result is read.
+     */
+    public static <T> Lazy<FunList<T>> zip(FunList<Lazy<T>> lazies) {
+        return Lazy.of(() -> lazies.map(Lazy::get));
+    }
+
+    public String name() {
+        return name;
     }
 
     public T get() {
-        return null;
+        if (!evaluated) {
+            evaluate();
+        }
+        return value;
     }
 
     public <S> Lazy<S> map(Function<T, S> mapper) {
-        return null;
+        return Lazy.of(() -> mapper.apply(get()));
     }
 
     public <S> Lazy<S> flatMap(Function<T, Lazy<S>> mapper) {
-        return null;
+        return Lazy.of(() -> mapper.apply(get()).get());
     }
 
     public Optional<T> filter(Predicate<T> tester) {
-        return Optional.empty();
+        return Optional.ofNullable(get()).filter(tester);
+    }
+
+    /**
+     * Deferred variant of {@link #filter(Predicate)}. Neither the supplier nor the predicate runs until the result is
+     * read, and the predicate runs at most once, however many times the result is read.
+     */
+    public Lazy<Optional<T>> filterLazily(Predicate<T> tester) {
+        return Lazy.of(() -> filter(tester));
+    }
+
+    public <S, R> Lazy<R> zipWith(Lazy<S> other, BiFunction<T, S, R> combiner) {
+        return Lazy.of(() -> combiner.apply(get(), other.get()));
+    }
+
+    private void evaluate() {
+        var waitEvent = new LazyWaitEvent();
+        waitEvent.begin();
+        var initializer = initializingThread;
+        startWaiting();
+        synchronized (lock) {
+            WAITING.remove(Thread.currentThread());
+            if (evaluated) {
+                waitEvent.end();
+                if (waitEvent.shouldCommit()) {
+                    waitEvent.name = name;
+                    waitEvent.supplierClass = supplierClass;
+                    waitEvent.initializingThread = initializer;
+                    waitEvent.commit();
+                }
+                return;
+            }
+            var initEvent = new LazyInitEvent();
+            initEvent.begin();
+            initializingThread = Thread.currentThread();
+            try {
+                value = supplier.get();
+                evaluated = true;
+                supplier = null;
+            } finally {
+                initializingThread = null;
+                initEvent.end();
+                if (initEvent.shouldCommit()) {
+                    initEvent.name = name;
+                    initEvent.supplierClass = supplierClass;
+                    initEvent.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Records that the current thread is about to wait for this lazy and fails if that wait could never end: when
+     * this lazy is being initialized by the current thread itself, or by a thread that, through a chain of other
+     * initializing threads, waits for the current one. Every thread registers before it checks, so of two threads
+     * closing a cycle at the same time at least one sees the other and fails, releasing the rest.
+     */
+    private void startWaiting() {
+        var current = Thread.currentThread();
+        WAITING.put(current, this);
+        var initializer = initializingThread;
+        var owner = initializer;
+        for (int hops = 0; owner != null && hops <= WAITING.size(); hops++) {
+            if (owner == current) {
+                WAITING.remove(current);
+                throw new IllegalStateException("Lazy " + describe() + " depends on itself: " + (hops == 0
+                    ? "its supplier called get() while it was being initialized"
+                    : "it is being initialized by " + initializer.getName() + ", which waits for this thread"));
+            }
+            var awaited = WAITING.get(owner);
+            owner = awaited != null ? awaited.initializingThread : null;
+        }
+    }
+
+    private String describe() {
+        return name != null ? name : supplierClass.getName();
     }
 }
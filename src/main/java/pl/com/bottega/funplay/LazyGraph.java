@@ -0,0 +1,98 @@
+package pl.com.bottega.funplay;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Registry of {@link Lazy} components that depend on each other. Instead of letting suppliers initialize their
+ * dependencies one by one through nested {@link Lazy#get()} calls, {@link #initialize(Executor)} checks the graph
+ * for cycles and then initializes each component once all of its dependencies are ready, running independent
+ * branches in parallel. Every component is still computed through {@link Lazy#get()}, so it is initialized once,
+ * and a supplier that reaches its own component through undeclared {@code get()} calls fails instead of recursing
+ * or, when the cycle spans pool threads, deadlocking.
+ */
+public final class LazyGraph {
+
+    private final Map<Lazy<?>, List<Lazy<?>>> dependencies = new LinkedHashMap<>();
+
+    public synchronized <T> Lazy<T> register(String name, Supplier<? extends T> supplier, Lazy<?>... dependencies) {
+        var component = Lazy.<T>of(name, supplier);
+        this.dependencies.put(component, new ArrayList<>(List.of(dependencies)));
+        return component;
+    }
+
+    /**
+     * Declares additional dependencies of a registered component, e.g. ones registered after it.
+     */
+    public synchronized void dependsOn(Lazy<?> component, Lazy<?>... dependencies) {
+        var declared = this.dependencies.get(component);
+        if (declared == null) {
+            throw new IllegalArgumentException("Component " + component.name() + " is not registered");
+        }
+        declared.addAll(List.of(dependencies));
+    }
+
+    /**
+     * Initializes all components on the given executor. Fails with {@link IllegalStateException} before running any
+     * supplier if the dependencies form a cycle. If a supplier fails, the components depending on it are skipped and
+     * the returned future completes exceptionally.
+     */
+    public synchronized CompletableFuture<Void> initialize(Executor executor) {
+        var initialized = new IdentityHashMap<Lazy<?>, CompletableFuture<Void>>();
+        for (var component : topologicalOrder()) {
+            var ready = dependenciesOf(component).stream()
+                .map(initialized::get)
+                .toArray(CompletableFuture[]::new);
+            var future = ready.length == 0
+                ? CompletableFuture.runAsync(component::get, executor)
+                : CompletableFuture.allOf(ready).thenRunAsync(component::get, executor);
+            initialized.put(component, future);
+        }
+        return CompletableFuture.allOf(initialized.values().toArray(CompletableFuture[]::new));
+    }
+
+    private List<Lazy<?>> dependenciesOf(Lazy<?> component) {
+        return dependencies.getOrDefault(component, List.of());
+    }
+
+    private List<Lazy<?>> topologicalOrder() {
+        var order = new ArrayList<Lazy<?>>();
+        var visiting = new ArrayList<Lazy<?>>();
+        var visited = new IdentityHashMap<Lazy<?>, Boolean>();
+        for (var component : dependencies.keySet()) {
+            visit(component, visiting, visited, order);
+        }
+        return order;
+    }
+
+    private void visit(Lazy<?> component, List<Lazy<?>> visiting, Map<Lazy<?>, Boolean> visited, List<Lazy<?>> order) {
+        if (visited.containsKey(component)) {
+            return;
+        }
+        if (visiting.contains(component)) {
+            var cycle = visiting.subList(visiting.indexOf(component), visiting.size());
+            throw new IllegalStateException("Dependency cycle: " + describe(cycle, component));
+        }
+        visiting.add(component);
+        for (var dependency : dependenciesOf(component)) {
+            visit(dependency, visiting, visited, order);
+        }
+        visiting.remove(visiting.size() - 1);
+        visited.put(component, true);
+        order.add(component);
+    }
+
+    private static String describe(List<Lazy<?>> path, Lazy<?> closing) {
+        var description = new StringBuilder();
+        for (var component : path) {
+            description.append(component.name()).append(" -> ");
+        }
+        return description.append(closing.name()).toString();
+    }
+}
@@ -0,0 +1,26 @@
+package pl.com.bottega.funplay;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event covering a single run of a {@link Lazy} supplier. Only initializations
+ * taking longer than the configured threshold are recorded.
+ */
+@Name("pl.com.bottega.funplay.LazyInit")
+@Label("Lazy Initialization")
+@Description("Run of the supplier of a Lazy value")
+@Category({"Funplay", "Lazy"})
+@Threshold("10 ms")
+final class LazyInitEvent extends Event {
+
+    @Label("Name")
+    String name;
+
+    @Label("Supplier Class")
+    Class<?> supplierClass;
+}
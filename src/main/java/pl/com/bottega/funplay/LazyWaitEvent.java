@@ -0,0 +1,29 @@
+package pl.com.bottega.funplay;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event covering the time a thread spent blocked in {@link Lazy#get()} while another
+ * thread was running the supplier. The waiting thread is the event thread.
+ */
+@Name("pl.com.bottega.funplay.LazyWait")
+@Label("Lazy Wait")
+@Description("Thread blocked until another thread initialized a Lazy value")
+@Category({"Funplay", "Lazy"})
+@Threshold("10 ms")
+final class LazyWaitEvent extends Event {
+
+    @Label("Name")
+    String name;
+
+    @Label("Supplier Class")
+    Class<?> supplierClass;
+
+    @Label("Initializing Thread")
+    Thread initializingThread;
+}
@@ -0,0 +1,394 @@
+package pl.com.bottega.funplay;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+final class NonEmptyList<T> implements FunList<T> {
+
+    private final T head;
+    private final FunList<T> tail;
+    private final int size;
+    private int hash;
+
+    NonEmptyList(T head, FunList<T> tail) {
+        this.head = head;
+        this.tail = tail;
+        this.size = tail.size() + 1;
+    }
+
+    /**
+     * Prepends {@code elements[from..to)} to {@code tail}, last element first, so the result shares {@code tail}.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> FunList<T> build(Object[] elements, int from, int to, FunList<T> tail) {
+        var result = tail;
+        for (int i = to - 1; i >= from; i--) {
+            result = new NonEmptyList<>((T) elements[i], result);
+        }
+        return result;
+    }
+
+    static void checkWindowSize(Integer size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Window size must be positive, was " + size);
+        }
+    }
+
+    @Override
+    public FunList<T> append(T element) {
+        return build(toArray(), 0, size, new NonEmptyList<>(element, EmptyList.instance()));
+    }
+
+    @Override
+    public FunList<T> prepend(T element) {
+        return new NonEmptyList<>(element, this);
+    }
+
+    @Override
+    public FunList<T> concat(FunList<T> other) {
+        if (other.size() == 0) {
+            return this;
+        }
+        return build(toArray(), 0, size, other);
+    }
+
+    @Override
+    public FunList<T> reverse() {
+        FunList<T> reversed = EmptyList.instance();
+        for (var node = this; node != null; node = node.next()) {
+            reversed = reversed.prepend(node.head);
+        }
+        return reversed;
+    }
+
+    @Override
+    public FunList<T> remove(T element) {
+        var prefix = new Object[size];
+        int index = 0;
+        for (var node = this; node != null; node = node.next()) {
+            if (Objects.equals(node.head, element)) {
+                return build(prefix, 0, index, node.tail);
+            }
+            prefix[index++] = node.head;
+        }
+        return this;
+    }
+
+    @Override
+    public Optional<T> find(Predicate<T> predicate) {
+        for (var node = this; node != null; node = node.next()) {
+            if (predicate.test(node.head)) {
+                return Optional.ofNullable(node.head);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Integer size() {
+        return size;
+    }
+
+    @Override
+    public Optional<T> get(Integer index) {
+        if (index < 0 || index >= size) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(nodeAt(index).head);
+    }
+
+    @Override
+    public FunList<T> filter(Predicate<T> predicate) {
+        var kept = new Object[size];
+        int count = 0;
+        for (var node = this; node != null; node = node.next()) {
+            if (predicate.test(node.head)) {
+                kept[count++] = node.head;
+            }
+        }
+        return count == size ? this : build(kept, 0, count, EmptyList.instance());
+    }
+
+    @Override
+    public Optional<T> first() {
+        return Optional.ofNullable(head);
+    }
+
+    @Override
+    public Optional<T> last() {
+        return Optional.ofNullable(nodeAt(size - 1).head);
+    }
+
+    @Override
+    public void foreach(Consumer<T> consumer) {
+        for (var node = this; node != null; node = node.next()) {
+            consumer.accept(node.head);
+        }
+    }
+
+    @Override
+    public FunList<T> slice(Integer start, Integer end) {
+        int from = Math.max(start, 0);
+        int to = Math.min(end, size - 1);
+        if (from > to) {
+            return EmptyList.instance();
+        }
+        var first = nodeAt(from);
+        if (to == size - 1) {
+            return first;
+        }
+        return build(first.toArray(), 0, to - from + 1, EmptyList.instance());
+    }
+
+    @Override
+    public <S> FunList<S> map(Function<T, S> mapper) {
+        var mapped = new Object[size];
+        int index = 0;
+        for (var node = this; node != null; node = node.next()) {
+            mapped[index++] = mapper.apply(node.head);
+        }
+        return build(mapped, 0, size, EmptyList.instance());
+    }
+
+    @Override
+    public <S> FunList<S> flatMap(Function<T, FunList<S>> mapper) {
+        var mapped = new ArrayList<S>(size);
+        for (var node = this; node != null; node = node.next()) {
+            mapper.apply(node.head).foreach(mapped::add);
+        }
+        return build(mapped.toArray(), 0, mapped.size(), EmptyList.instance());
+    }
+
+    @Override
+    public <S> FunList<S> mapAsync(Function<T, S> mapper, Integer concurrencyLimit) {
+        return mapAsync(mapper, concurrencyLimit, null);
+    }
+
+    @Override
+    public <S> FunList<S> mapAsync(Function<T, S> mapper, Integer concurrencyLimit, Duration timeout) {
+        var mapped = AsyncMapping.map(toArray(), mapper, concurrencyLimit, timeout);
+        return build(mapped, 0, size, EmptyList.instance());
+    }
+
+    @Override
+    public <S> FunList<S> flatMapAsync(Function<T, FunList<S>> mapper, Integer concurrencyLimit) {
+        return flatMapAsync(mapper, concurrencyLimit, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S> FunList<S> flatMapAsync(Function<T, FunList<S>> mapper, Integer concurrencyLimit, Duration timeout) {
+        var mapped = AsyncMapping.map(toArray(), mapper, concurrencyLimit, timeout);
+        var flattened = new ArrayList<S>(size);
+        for (var list : mapped) {
+            ((FunList<S>) list).foreach(flattened::add);
+        }
+        return build(flattened.toArray(), 0, flattened.size(), EmptyList.instance());
+    }
+
+    @Override
+    public <S> S foldLeft(S initial, BiFunction<S, T, S> op) {
+        var acc = initial;
+        for (var node = this; node != null; node = node.next()) {
+            acc = op.apply(acc, node.head);
+        }
+        return acc;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S> S foldRight(S initial, BiFunction<S, T, S> op) {
+        var elements = toArray();
+        var acc = initial;
+        for (int i = size - 1; i >= 0; i--) {
+            acc = op.apply(acc, (T) elements[i]);
+        }
+        return acc;
+    }
+
+    @Override
+    public <S> S foldLeftWhile(S initial, BiFunction<S, T, S> op, Predicate<S> continuePredicate) {
+        var acc = initial;
+        for (var node = this; node != null && continuePredicate.test(acc); node = node.next()) {
+            acc = op.apply(acc, node.head);
+        }
+        return acc;
+    }
+
+    @Override
+    public <S> S reduceUntil(S initial, BiFunction<S, T, Reduced<S>> op) {
+        var acc = initial;
+        for (var node = this; node != null; node = node.next()) {
+            var reduced = op.apply(acc, node.head);
+            acc = reduced.value();
+            if (reduced.isDone()) {
+                break;
+            }
+        }
+        return acc;
+    }
+
+    @Override
+    public Optional<T> foldLeft(BinaryOperator<T> op) {
+        return Optional.ofNullable(tail.foldLeft(head, op));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> foldRight(BinaryOperator<T> op) {
+        var elements = toArray();
+        var acc = (T) elements[size - 1];
+        for (int i = size - 2; i >= 0; i--) {
+            acc = op.apply(acc, (T) elements[i]);
+        }
+        return Optional.ofNullable(acc);
+    }
+
+    @Override
+    public <S, R> FunList<R> zip(FunList<S> other, BiFunction<T, S, R> zipper) {
+        if (other.size() == 0) {
+            return EmptyList.instance();
+        }
+        var zipped = new Object[Math.min(size, other.size())];
+        var right = (NonEmptyList<S>) other;
+        int index = 0;
+        for (var left = this; left != null && right != null; left = left.next(), right = right.next()) {
+            zipped[index++] = zipper.apply(left.head, right.head);
+        }
+        return build(zipped, 0, index, EmptyList.instance());
+    }
+
+    @Override
+    public <K extends Comparable<? super K>> FunList<T> sortBy(Function<T, K> keyExtractor) {
+        @SuppressWarnings("unchecked")
+        var sorted = (T[]) toArray();
+        Arrays.sort(sorted, Comparator.comparing(keyExtractor));
+        return build(sorted, 0, size, EmptyList.instance());
+    }
+
+    @Override
+    public <K> Map<K, FunList<T>> groupBy(Function<T, K> classifier) {
+        var groups = new LinkedHashMap<K, ArrayList<T>>();
+        for (var node = this; node != null; node = node.next()) {
+            groups.computeIfAbsent(classifier.apply(node.head), key -> new ArrayList<>()).add(node.head);
+        }
+        var result = new LinkedHashMap<K, FunList<T>>(groups.size() * 4 / 3 + 1);
+        groups.forEach((key, group) -> result.put(key, build(group.toArray(), 0, group.size(), EmptyList.instance())));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public FunList<T> distinct() {
+        var seen = new HashSet<T>(size * 4 / 3 + 1);
+        var kept = new Object[size];
+        int count = 0;
+        for (var node = this; node != null; node = node.next()) {
+            if (seen.add(node.head)) {
+                kept[count++] = node.head;
+            }
+        }
+        return count == size ? this : build(kept, 0, count, EmptyList.instance());
+    }
+
+    @Override
+    public FunList<FunList<T>> windowed(Integer windowSize) {
+        checkWindowSize(windowSize);
+        if (windowSize > size) {
+            return EmptyList.instance();
+        }
+        var elements = toArray();
+        var windows = new Object[size - windowSize + 1];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = build(elements, i, i + windowSize, EmptyList.instance());
+        }
+        return build(windows, 0, windows.length, EmptyList.instance());
+    }
+
+    @Override
+    public FunListDiff diff(FunList<T> other) {
+        return FunListDiff.between(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NonEmptyList)) {
+            return false;
+        }
+        var other = (NonEmptyList<?>) o;
+        if (size != other.size || hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        NonEmptyList<?> right = other;
+        for (var left = this; left != null; left = left.next(), right = right.next()) {
+            if (left == right) {
+                return true;
+            }
+            if (!Objects.equals(left.head, right.head)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash == 0) {
+            int result = 1;
+            for (var node = this; node != null; node = node.next()) {
+                result = 31 * result + Objects.hashCode(node.head);
+            }
+            hash = result;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("[");
+        for (var node = this; node != null; node = node.next()) {
+            builder.append(node.head).append(node.next() == null ? "]" : ", ");
+        }
+        return builder.toString();
+    }
+
+    T head() {
+        return head;
+    }
+
+    NonEmptyList<T> next() {
+        return tail instanceof NonEmptyList ? (NonEmptyList<T>) tail : null;
+    }
+
+    private NonEmptyList<T> nodeAt(int index) {
+        var node = this;
+        for (int i = 0; i < index; i++) {
+            node = node.next();
+        }
+        return node;
+    }
+
+    private Object[] toArray() {
+        var elements = new Object[size];
+        int index = 0;
+        for (var node = this; node != null; node = node.next()) {
+            elements[index++] = node.head;
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,32 @@
+package pl.com.bottega.funplay;
+
+/**
+ * Result of a single step of {@link FunList#reduceUntil(Object, java.util.function.BiFunction)}. A step returning
+ * {@link #done(Object)} stops the fold and makes its value the result; {@link #next(Object)} carries on.
+ */
+public final class Reduced<S> {
+
+    private final S value;
+    private final boolean done;
+
+    private Reduced(S value, boolean done) {
+        this.value = value;
+        this.done = done;
+    }
+
+    public static <S> Reduced<S> next(S value) {
+        return new Reduced<>(value, false);
+    }
+
+    public static <S> Reduced<S> done(S value) {
+        return new Reduced<>(value, true);
+    }
+
+    public S value() {
+        return value;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+}
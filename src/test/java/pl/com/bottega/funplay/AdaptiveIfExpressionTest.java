@@ -0,0 +1,111 @@
+package pl.com.bottega.funplay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveIfExpressionTest {
+
+    private final AdaptiveIfExpression<Integer, String> rule = AdaptiveIfExpression
+        .If((Integer i) -> i == 1, String.class).Then("one")
+        .ElsIf(i -> i == 2).Then(i -> "two")
+        .ElsIf(i -> i == 3).Then("three")
+        .Else(i -> "many: " + i);
+
+    @Test
+    void evaluatesMatchingBranch() {
+        assertThat(rule.apply(1)).isEqualTo("one");
+        assertThat(rule.apply(2)).isEqualTo("two");
+        assertThat(rule.apply(3)).isEqualTo("three");
+        assertThat(rule.apply(4)).isEqualTo("many: 4");
+    }
+
+    @Test
+    void testsBranchesInDeclaredOrderInitially() {
+        assertThat(rule.evaluationOrder()).isEqualTo(FunList.of(0, 1, 2));
+    }
+
+    @Test
+    void testsMostFrequentBranchesFirst() {
+        var adaptive = rule.replanEvery(1);
+
+        for (int i = 0; i < 10; i++) {
+            adaptive.apply(3);
+        }
+        for (int i = 0; i < 5; i++) {
+            adaptive.apply(2);
+        }
+        adaptive.apply(1);
+
+        assertThat(adaptive.evaluationOrder()).isEqualTo(FunList.of(2, 1, 0));
+        assertThat(adaptive.apply(1)).isEqualTo("one");
+        assertThat(adaptive.apply(4)).isEqualTo("many: 4");
+    }
+
+    @Test
+    void testsMostFrequentConditionFirst() {
+        var tested = new ArrayList<String>();
+        var adaptive = AdaptiveIfExpression.If(testing(tested, "negative", i -> i < 0), String.class).Then("negative")
+            .ElsIf(testing(tested, "positive", i -> i > 0)).Then("positive")
+            .Else("zero")
+            .replanEvery(1);
+        adaptive.apply(1);
+        adaptive.apply(1);
+        tested.clear();
+
+        adaptive.apply(1);
+
+        assertThat(tested).containsExactly("positive", "negative");
+    }
+
+    @Test
+    void keepsDeclaredOrderForOverlappingConditions() {
+        var adaptive = AdaptiveIfExpression.If((Integer i) -> i % 2 == 0, String.class).Then("even")
+            .ElsIf(i -> i % 3 == 0).Then("div3")
+            .Else("other")
+            .replanEvery(1);
+
+        assertThat(adaptive.apply(6)).isEqualTo("even");
+        for (int i = 0; i < 10; i++) {
+            adaptive.apply(3);
+        }
+
+        assertThat(adaptive.evaluationOrder()).isEqualTo(FunList.of(1, 0));
+        assertThat(adaptive.apply(6)).isEqualTo("even");
+        assertThat(adaptive.apply(3)).isEqualTo("div3");
+        assertThat(adaptive.apply(5)).isEqualTo("other");
+    }
+
+    @Test
+    void testsOnlyHotBranchOfExclusiveChain() {
+        var tested = new ArrayList<String>();
+        var adaptive = AdaptiveIfExpression.If(testing(tested, "negative", i -> i < 0), String.class).Then("negative")
+            .ElsIf(testing(tested, "zero", i -> i == 0)).Then("zero")
+            .ElsIf(testing(tested, "small", i -> i > 0 && i < 10)).Then("small")
+            .Else("large")
+            .replanEvery(1)
+            .exclusive();
+        adaptive.apply(5);
+        adaptive.apply(5);
+
+        for (int i = 0; i < 3; i++) {
+            tested.clear();
+            assertThat(adaptive.apply(5)).isEqualTo("small");
+            assertThat(tested).containsExactly("small");
+        }
+        assertThat(adaptive.apply(-1)).isEqualTo("negative");
+        assertThat(adaptive.apply(0)).isEqualTo("zero");
+        assertThat(adaptive.apply(10)).isEqualTo("large");
+    }
+
+    private static Predicate<Integer> testing(List<String> tested, String name, Predicate<Integer> condition) {
+        return i -> {
+            tested.add(name);
+            return condition.test(i);
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package pl.com.bottega.funplay;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AtomicFunListTest {
+
+    @Test
+    void appliesUpdatesInOrder() {
+        var list = AtomicFunList.of(FunList.of(2));
+
+        list.append(3);
+        list.prepend(1);
+        list.append(4);
+        list.prepend(0);
+
+        assertThat(list.get()).isEqualTo(FunList.of(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    void publishesUpdatesInBatches() {
+        var list = AtomicFunList.of(FunList.<Integer>empty(), 3, Duration.ofHours(1));
+
+        list.append(1);
+        list.append(2);
+
+        assertThat(list.get()).isEqualTo(FunList.empty());
+
+        list.append(3);
+
+        assertThat(list.get()).isEqualTo(FunList.of(1, 2, 3));
+    }
+
+    @Test
+    void flushesPendingUpdates() {
+        var list = AtomicFunList.of(FunList.<Integer>empty(), 100, Duration.ofHours(1));
+
+        list.append(1);
+        list.prepend(0);
+
+        assertThat(list.flush()).isEqualTo(FunList.of(0, 1));
+        assertThat(list.get()).isEqualTo(FunList.of(0, 1));
+    }
+
+    @Test
+    void doesNotReturnSnapshotsStalerThanLimit() throws InterruptedException {
+        var list = AtomicFunList.of(FunList.<Integer>empty(), 100, Duration.ofMillis(10));
+
+        list.append(1);
+        Thread.sleep(20);
+
+        assertThat(list.get()).isEqualTo(FunList.of(1));
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> AtomicFunList.of(FunList.empty(), 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> AtomicFunList.of(FunList.empty(), 1, Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void combinesConcurrentAppends() throws InterruptedException {
+        var list = AtomicFunList.of(FunList.<Integer>empty(), 16, Duration.ofMillis(1));
+        var threads = 8;
+        var perThread = 5_000;
+        var start = new CountDownLatch(1);
+        var producers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            var offset = t * perThread;
+            var producer = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perThread; i++) {
+                    list.append(offset + i);
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+
+        start.countDown();
+        for (var producer : producers) {
+            producer.join();
+        }
+        var result = list.flush();
+
+        assertThat(result.size()).isEqualTo(threads * perThread);
+        assertThat(result.distinct().size()).isEqualTo(threads * perThread);
+        for (int t = 0; t < threads; t++) {
+            var offset = t * perThread;
+            var fromThread = result.filter(i -> i >= offset && i < offset + perThread);
+            assertThat(fromThread).isEqualTo(fromThread.sortBy(i -> i));
+        }
+    }
+
+    @Test
+    void readsOwnWritesUnderContention() throws InterruptedException {
+        var list = AtomicFunList.of(FunList.of(new Integer[300_000]).map(i -> -1), 2, Duration.ZERO);
+        var threads = 8;
+        var perThread = 50;
+        var staleReads = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            var offset = t * perThread;
+            workers.add(new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perThread; i++) {
+                    var written = offset + i;
+                    list.append(written);
+                    if (list.get().find(e -> e == written).isEmpty()) {
+                        staleReads.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+
+        start.countDown();
+        for (var worker : workers) {
+            worker.join();
+        }
+
+        assertThat(staleReads.get()).isEqualTo(0);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package pl.com.bottega.funplay;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Runs random sequences of operations on a {@link FunList} and on an {@link ArrayList} model and checks that both
+ * agree after every step. Initial sizes straddle the 32, 1024 and 32768 boundaries.
+ */
+class FunListPropertiesTest {
+
+    private static final int[] SIZES = {0, 1, 31, 32, 33, 1023, 1024, 1025, 32767, 32768, 32769};
+    private static final int SEEDS = 3;
+    private static final int OPERATIONS = 40;
+
+    @TestFactory
+    Stream<DynamicTest> behavesLikeArrayList() {
+        return Arrays.stream(SIZES).boxed().flatMap(size -> IntStream.range(0, SEEDS).mapToObj(seed ->
+            dynamicTest("size " + size + ", seed " + seed, () -> runOperations(size, new Random(31L * size + seed)))
+        ));
+    }
+
+    private void runOperations(int size, Random random) {
+        var model = new ArrayList<Integer>();
+        for (int i = 0; i < size; i++) {
+            model.add(random.nextInt(100));
+        }
+        var list = FunList.of(model.toArray(new Integer[0]));
+        var history = new StringBuilder();
+
+        for (int step = 0; step < OPERATIONS; step++) {
+            var element = random.nextInt(100);
+            switch (random.nextInt(9)) {
+                case 0:
+                    history.append("append(").append(element).append(") ");
+                    list = list.append(element);
+                    model.add(element);
+                    break;
+                case 1:
+                    history.append("prepend(").append(element).append(") ");
+                    list = list.prepend(element);
+                    model.add(0, element);
+                    break;
+                case 2: {
+                    var start = random.nextInt(model.size() + 4) - 2;
+                    var end = random.nextInt(model.size() + 4) - 2;
+                    history.append("concat(slice(").append(start).append(", ").append(end).append(")) ");
+                    var other = list.slice(start, end);
+                    list = list.concat(other);
+                    model.addAll(sliceOf(model, start, end));
+                    break;
+                }
+                case 3: {
+                    var start = random.nextInt(model.size() + 4) - 2;
+                    var end = random.nextInt(model.size() + 4) - 2;
+                    history.append("slice(").append(start).append(", ").append(end).append(") ");
+                    list = list.slice(start, end);
+                    model = new ArrayList<>(sliceOf(model, start, end));
+                    break;
+                }
+                case 4:
+                    history.append("remove(").append(element).append(") ");
+                    list = list.remove(element);
+                    model.remove(Integer.valueOf(element));
+                    break;
+                case 5:
+                    history.append("reverse() ");
+                    list = list.reverse();
+                    Collections.reverse(model);
+                    break;
+                case 6: {
+                    var index = random.nextInt(model.size() + 4) - 2;
+                    history.append("get(").append(index).append(") ");
+                    var expected = index >= 0 && index < model.size() ? Optional.of(model.get(index)) : Optional.empty();
+                    assertThat(list.get(index)).as(history.toString()).isEqualTo(expected);
+                    break;
+                }
+                case 7: {
+                    history.append("foldLeft() ");
+                    long expected = 0;
+                    for (var e : model) {
+                        expected = expected * 31 + e;
+                    }
+                    assertThat(list.foldLeft(0L, (acc, e) -> acc * 31 + e)).as(history.toString()).isEqualTo(expected);
+                    break;
+                }
+                default: {
+                    history.append("foldRight() ");
+                    long expected = 0;
+                    for (int i = model.size() - 1; i >= 0; i--) {
+                        expected = expected * 31 + model.get(i);
+                    }
+                    assertThat(list.foldRight(0L, (acc, e) -> acc * 31 + e)).as(history.toString()).isEqualTo(expected);
+                }
+            }
+            assertThat(list.size()).as(history.toString()).isEqualTo(model.size());
+            assertThat(toJavaList(list)).as(history.toString()).isEqualTo(model);
+        }
+    }
+
+    private static List<Integer> sliceOf(List<Integer> model, int start, int end) {
+        var from = Math.max(start, 0);
+        var to = Math.min(end, model.size() - 1);
+        return from > to ? List.of() : model.subList(from, to + 1);
+    }
+
+    private static List<Integer> toJavaList(FunList<Integer> list) {
+        return list.foldLeft(new ArrayList<>(), (acc, e) -> {
+            acc.add(e);
+            return acc;
+        });
+    }
+}
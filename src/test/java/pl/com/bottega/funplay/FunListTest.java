@@ -1,14 +1,22 @@
 package pl.com.bottega.funplay;
 
 import org.junit.jupiter.api.Test;
+import pl.com.bottega.funplay.FunListDiff.Range;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -220,6 +228,79 @@ class FunListTest {
         verifyZeroInteractions(mapper);
     }
 
+    @Test
+    void mapsListAsynchronouslyKeepingOrder() {
+        var numbers = FunList.of(5, 1, 4, 2, 3);
+
+        var mapped = numbers.mapAsync(n -> {
+            sleep(n * 10);
+            return n * 2;
+        }, 5);
+
+        assertThat(mapped).isEqualTo(FunList.of(10, 2, 8, 4, 6));
+        assertThat(numbers.flatMapAsync(n -> FunList.of(n, -n), 2)).isEqualTo(FunList.of(5, -5, 1, -1, 4, -4, 2, -2, 3, -3));
+        assertThat(FunList.<Integer>empty().mapAsync(n -> n, 1)).isEqualTo(FunList.empty());
+    }
+
+    @Test
+    void mapsBlockingCallsConcurrently() {
+        var numbers = FunList.of(new Integer[100]).map(n -> 1);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        var mapped = numbers.mapAsync(n -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(20);
+            running.decrementAndGet();
+            return n;
+        }, 10, Duration.ofSeconds(5));
+
+        assertThat(mapped).isEqualTo(numbers);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(10);
+        assertThat(maxRunning.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void cancelsRemainingMappingsOnFirstFailure() {
+        var numbers = FunList.of(new Integer[100]).map(n -> 1).prepend(0);
+        var mapped = new AtomicInteger();
+        var running = new AtomicInteger();
+
+        var error = assertThrows(IllegalArgumentException.class, () -> numbers.mapAsync(n -> {
+            running.incrementAndGet();
+            try {
+                if (n == 0) {
+                    throw new IllegalArgumentException("failed");
+                }
+                sleepUninterruptibly(50);
+                return mapped.incrementAndGet();
+            } finally {
+                running.decrementAndGet();
+            }
+        }, 2));
+        var runningAfterFailure = running.get();
+
+        assertThat(error).hasMessageContaining("failed");
+        assertThat(runningAfterFailure).isEqualTo(0);
+        assertThat(mapped.get()).isLessThan(10);
+    }
+
+    @Test
+    void failsWhenMappingTakesLongerThanTimeout() {
+        var numbers = FunList.of(1, 2, 3);
+
+        var error = assertThrows(CompletionException.class,
+            () -> numbers.mapAsync(n -> sleep(1_000), 3, Duration.ofMillis(50)));
+
+        assertThat(error.getCause()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void rejectsNonPositiveConcurrencyLimit() {
+        assertThrows(IllegalArgumentException.class, () -> FunList.of(1).mapAsync(n -> n, 0));
+        assertThrows(IllegalArgumentException.class, () -> FunList.empty().flatMapAsync(n -> FunList.empty(), 0));
+    }
+
     @Test
     void foldsListFromTheLeft() {
         var numbers = FunList.of(1, 2, 3, 4, 5);
@@ -244,6 +325,44 @@ class FunListTest {
         assertThat(numbersStr).isEqualTo("54321");
     }
 
+    @Test
+    void foldsLongListFromTheRightWithoutOverflowingTheStack() {
+        var numbers = FunList.of(new Integer[1_000_000]).map(n -> 1);
+
+        assertThat(numbers.foldRight(0, Integer::sum)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void foldsListFromTheLeftWhileAccumulatorSatisfiesPredicate() {
+        var numbers = FunList.of(1, 2, 3, 4, 5);
+        var visited = new StringBuilder();
+
+        var sum = numbers.foldLeftWhile(0, (acc, element) -> {
+            visited.append(element);
+            return acc + element;
+        }, acc -> acc < 5);
+
+        assertThat(sum).isEqualTo(6);
+        assertThat(visited.toString()).isEqualTo("123");
+        assertThat(numbers.foldLeftWhile(0, Integer::sum, acc -> true)).isEqualTo(15);
+        assertThat(numbers.foldLeftWhile(0, Integer::sum, acc -> false)).isEqualTo(0);
+    }
+
+    @Test
+    void reducesListUntilDone() {
+        var numbers = FunList.of(1, 2, 3, 4, 5);
+        var visited = new StringBuilder();
+
+        var sum = numbers.reduceUntil(0, (acc, element) -> {
+            visited.append(element);
+            return element == 3 ? Reduced.done(acc) : Reduced.next(acc + element);
+        });
+
+        assertThat(sum).isEqualTo(3);
+        assertThat(visited.toString()).isEqualTo("123");
+        assertThat(numbers.reduceUntil(0, (acc, element) -> Reduced.next(acc + element))).isEqualTo(15);
+    }
+
     @Test
     void foldsEmptyList() {
         var empty = FunList.empty();
@@ -252,6 +371,8 @@ class FunListTest {
 
         assertThat(empty.foldLeft("", op)).isEqualTo("");
         assertThat(empty.foldRight("", op)).isEqualTo("");
+        assertThat(empty.foldLeftWhile("", op, acc -> true)).isEqualTo("");
+        assertThat(empty.reduceUntil("", op)).isEqualTo("");
         verifyZeroInteractions(op);
     }
 
@@ -277,6 +398,15 @@ class FunListTest {
         assertThat(singleElementSum).isEqualTo(1);
     }
 
+    @Test
+    void foldsListWithNullElementsToSingleElementOfTheListType() {
+        var words = FunList.of("a", null);
+
+        assertThat(words.foldLeft((acc, element) -> element)).isEqualTo(Optional.empty());
+        assertThat(words.foldRight((acc, element) -> element)).isEqualTo(Optional.of("a"));
+        assertThat(words.reverse().foldRight((acc, element) -> element)).isEqualTo(Optional.empty());
+    }
+
     @Test
     void foldsEmptyListToSingleElementOfTheListType() {
         var empty = FunList.empty();
@@ -296,4 +426,136 @@ class FunListTest {
         assertThat(nonEmpty.find(e -> e.equals("2"))).isEqualTo(Optional.of("2"));
         assertThat(nonEmpty.find(e -> false)).isEqualTo(Optional.empty());
     }
+
+    @Test
+    void zipsLists() {
+        var numbers = FunList.of(1, 2, 3);
+        var words = FunList.of("one", "two");
+
+        assertThat(numbers.zip(words, (n, w) -> n + w)).isEqualTo(FunList.of("1one", "2two"));
+        assertThat(words.zip(numbers, (w, n) -> w + n)).isEqualTo(FunList.of("one1", "two2"));
+        assertThat(numbers.zip(FunList.empty(), (n, e) -> n)).isEqualTo(FunList.empty());
+        assertThat(FunList.<Integer>empty().zip(numbers, Integer::sum)).isEqualTo(FunList.empty());
+    }
+
+    @Test
+    void sortsListByKey() {
+        var words = FunList.of("ccc", "a", "bb", "dd", "e");
+
+        assertThat(words.sortBy(String::length)).isEqualTo(FunList.of("a", "e", "bb", "dd", "ccc"));
+        assertThat(words.sortBy(w -> w)).isEqualTo(FunList.of("a", "bb", "ccc", "dd", "e"));
+        assertThat(FunList.<String>empty().sortBy(String::length)).isEqualTo(FunList.empty());
+    }
+
+    @Test
+    void groupsListByKey() {
+        var numbers = FunList.of(1, 2, 3, 4, 5);
+
+        var groups = numbers.groupBy(n -> n % 2 == 0 ? "even" : "odd");
+
+        assertThat(groups).isEqualTo(Map.of("odd", FunList.of(1, 3, 5), "even", FunList.of(2, 4)));
+        assertThat(groups.keySet().iterator().next()).isEqualTo("odd");
+        assertThat(FunList.<Integer>empty().groupBy(n -> n)).isEqualTo(Map.of());
+    }
+
+    @Test
+    void removesDuplicates() {
+        var list = FunList.of(1, 2, 3);
+
+        assertThat(FunList.of(3, 1, 3, 2, 1).distinct()).isEqualTo(FunList.of(3, 1, 2));
+        assertThat(list.distinct() == list).isTrue();
+        assertThat(FunList.empty().distinct()).isEqualTo(FunList.empty());
+    }
+
+    @Test
+    void slidesWindowsOverList() {
+        var list = FunList.of(1, 2, 3, 4);
+
+        assertThat(list.windowed(2)).isEqualTo(FunList.of(FunList.of(1, 2), FunList.of(2, 3), FunList.of(3, 4)));
+        assertThat(list.windowed(4)).isEqualTo(FunList.of(list));
+        assertThat(list.windowed(5)).isEqualTo(FunList.empty());
+        assertThat(FunList.empty().windowed(1)).isEqualTo(FunList.empty());
+    }
+
+    @Test
+    void sharedTailsAreEqualWithoutComparingElements() {
+        var shared = FunList.of(incomparable(), incomparable(), incomparable());
+
+        assertThat(shared.prepend("1").equals(shared.prepend("1"))).isTrue();
+        assertThat(shared.prepend("1").equals(shared.prepend("2"))).isFalse();
+    }
+
+    @Test
+    void diffsLists() {
+        var list = FunList.of(1, 2, 3, 4, 5);
+
+        var diff = list.diff(FunList.of(0, 1, 3, 4, 6, 7, 5));
+
+        assertThat(diff.removed()).isEqualTo(FunList.of(Range.of(1, 1)));
+        assertThat(diff.inserted()).isEqualTo(FunList.of(Range.of(0, 0), Range.of(4, 5)));
+        assertThat(list.diff(FunList.of(1, 2, 3, 4, 5)).isEmpty()).isTrue();
+        assertThat(list.diff(FunList.empty()).removed()).isEqualTo(FunList.of(Range.of(0, 4)));
+        assertThat(FunList.<Integer>empty().diff(list).inserted()).isEqualTo(FunList.of(Range.of(0, 4)));
+        assertThat(FunList.empty().diff(FunList.empty()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void diffsLargeRewrites() {
+        FunList<Integer> list = FunList.empty();
+        for (int i = 9_999; i >= 0; i--) {
+            list = list.prepend(i);
+        }
+        var reversed = list.reverse();
+
+        var diff = list.diff(reversed);
+
+        var removedCount = diff.removed().foldLeft(0, (acc, range) -> acc + range.end() - range.start() + 1);
+        var insertedCount = diff.inserted().foldLeft(0, (acc, range) -> acc + range.end() - range.start() + 1);
+        assertThat(removedCount).isEqualTo(9_999);
+        assertThat(insertedCount).isEqualTo(9_999);
+    }
+
+    @Test
+    void diffsVersionsSharingStructure() {
+        var shared = FunList.of(incomparable(), incomparable(), incomparable());
+        var version = shared.prepend(2).prepend(1);
+
+        var diff = version.diff(version.remove(2).prepend(0));
+
+        assertThat(diff.removed()).isEqualTo(FunList.of(Range.of(1, 1)));
+        assertThat(diff.inserted()).isEqualTo(FunList.of(Range.of(0, 0)));
+    }
+
+    private static Object incomparable() {
+        return new Object() {
+            @Override
+            public boolean equals(Object obj) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static void sleepUninterruptibly(int millis) {
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        var interrupted = false;
+        for (long left = deadline - System.nanoTime(); left > 0; left = deadline - System.nanoTime()) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(left);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Integer sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return millis;
+    }
 }
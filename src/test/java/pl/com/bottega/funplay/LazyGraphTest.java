@@ -0,0 +1,153 @@
+package pl.com.bottega.funplay;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+class LazyGraphTest {
+
+    private final LazyGraph graph = new LazyGraph();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void initializesDependenciesBeforeDependents() {
+        var initialized = new ConcurrentLinkedQueue<String>();
+        var config = graph.register("config", () -> initialized.add("config"));
+        var database = graph.register("database", () -> initialized.add("database"), config);
+        var service = graph.register("service", () -> initialized.add("service"), database, config);
+
+        graph.initialize(executor).join();
+
+        assertThat(initialized).containsExactly("config", "database", "service");
+        assertThat(service.get()).isEqualTo(true);
+    }
+
+    @Test
+    void initializesIndependentBranchesInParallel() {
+        var barrier = new CyclicBarrier(2);
+        Supplier<Integer> awaitingOther = () -> await(barrier);
+        var left = graph.register("left", awaitingOther);
+        var right = graph.register("right", awaitingOther);
+        var sum = graph.register("sum", () -> left.get() + right.get(), left, right);
+
+        graph.initialize(executor).join();
+
+        assertThat(sum.get()).isEqualTo(1);
+    }
+
+    @Test
+    void callsEachSupplierJustOnce() {
+        var calls = new AtomicInteger();
+        var shared = graph.register("shared", calls::incrementAndGet);
+        var left = graph.register("left", shared::get, shared);
+        var right = graph.register("right", shared::get, shared);
+        graph.register("top", () -> left.get() + right.get(), left, right);
+
+        graph.initialize(executor).join();
+        shared.get();
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void detectsCyclesBeforeInitializing() {
+        var supplier = mock(Supplier.class);
+        var a = graph.register("a", supplier);
+        var b = graph.register("b", supplier, a);
+        var c = graph.register("c", supplier, b);
+        graph.dependsOn(a, c);
+
+        var error = assertThrows(IllegalStateException.class, () -> graph.initialize(executor));
+
+        assertThat(error).hasMessageContaining("a -> c -> b -> a");
+        verifyZeroInteractions(supplier);
+    }
+
+    @Test
+    void failsOnUndeclaredCyclesInsteadOfRecursing() {
+        var other = new AtomicReference<Lazy<Integer>>();
+        var a = graph.register("a", () -> other.get().get());
+        other.set(graph.register("b", a::get));
+
+        var error = assertThrows(CompletionException.class, () -> graph.initialize(Runnable::run).join());
+
+        assertThat(error.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(error.getCause()).hasMessageContaining("depends on itself");
+    }
+
+    @Test
+    void failsOnUndeclaredCyclesSpanningPoolThreadsInsteadOfDeadlocking() {
+        var bothStarted = new CountDownLatch(2);
+        var other = new AtomicReference<Lazy<Integer>>();
+        var a = graph.register("a", () -> {
+            await(bothStarted);
+            return other.get().get();
+        });
+        other.set(graph.register("b", () -> {
+            await(bothStarted);
+            return a.get();
+        }));
+
+        var error = assertThrows(ExecutionException.class, () -> graph.initialize(executor).get(5, TimeUnit.SECONDS));
+
+        assertThat(error.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(error.getCause()).hasMessageContaining("depends on itself");
+    }
+
+    @Test
+    void skipsDependentsOfFailedComponents() {
+        var dependent = mock(Supplier.class);
+        var failing = graph.register("failing", () -> {
+            throw new IllegalArgumentException("broken");
+        });
+        graph.register("dependent", dependent, failing);
+
+        var error = assertThrows(CompletionException.class, () -> graph.initialize(executor).join());
+
+        assertThat(error.getCause()).isInstanceOf(IllegalArgumentException.class);
+        verifyZeroInteractions(dependent);
+    }
+
+    @Test
+    void rejectsDependenciesOfUnregisteredComponents() {
+        assertThrows(IllegalArgumentException.class, () -> graph.dependsOn(Lazy.of(() -> 1), Lazy.of(() -> 2)));
+    }
+
+    private static Integer await(CyclicBarrier barrier) {
+        try {
+            return barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
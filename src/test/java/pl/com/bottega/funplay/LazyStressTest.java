@@ -0,0 +1,100 @@
+package pl.com.bottega.funplay;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races many threads on fresh {@link Lazy} instances, in the spirit of jcstress: every round all threads are released
+ * together by a barrier and the outcomes observed by each of them are checked.
+ */
+class LazyStressTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 500;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void callsSupplierOnceAndPublishesSameValueToAllThreads() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            var calls = new AtomicInteger();
+            var lazy = Lazy.of(() -> {
+                calls.incrementAndGet();
+                return new Holder(42);
+            });
+
+            var observed = race(lazy::get);
+
+            assertThat(calls.get()).isEqualTo(1);
+            for (var holder : observed) {
+                assertThat(holder).isSameAs(observed.get(0));
+                assertThat(holder.value).isEqualTo(42);
+            }
+        }
+    }
+
+    @Test
+    void callsEachStageOnceWhenRacingOnComposedLazies() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            var calls = new AtomicInteger();
+            var source = Lazy.of(calls::incrementAndGet);
+            var mapped = source.map(countingIdentity(calls));
+            var flatMapped = mapped.flatMap(i -> Lazy.of(() -> i + calls.incrementAndGet()));
+            var filtered = flatMapped.filterLazily(i -> calls.incrementAndGet() > 0);
+
+            var observed = race(filtered::get);
+
+            assertThat(calls.get()).isEqualTo(4);
+            for (var value : observed) {
+                assertThat(value).isEqualTo(observed.get(0));
+            }
+        }
+    }
+
+    private <T> ArrayList<T> race(Callable<T> action) throws Exception {
+        var barrier = new CyclicBarrier(THREADS);
+        var futures = new ArrayList<Future<T>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                barrier.await();
+                return action.call();
+            }));
+        }
+        var results = new ArrayList<T>();
+        for (var future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private static Function<Integer, Integer> countingIdentity(AtomicInteger calls) {
+        return i -> {
+            calls.incrementAndGet();
+            return i;
+        };
+    }
+
+    private static final class Holder {
+        private int value;
+
+        Holder(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package pl.com.bottega.funplay;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -85,6 +98,38 @@ public class LazyTest {
         verify(supplier, times(1)).get();
     }
 
+    @Test
+    void releasesSupplierOnceValueIsComputed() {
+        Supplier<String> supplier = () -> value;
+        var supplierReference = new WeakReference<>(supplier);
+        var lazy = Lazy.of(supplier).map(String::length);
+        supplier = null;
+
+        lazy.get();
+        for (int i = 0; i < 50 && supplierReference.get() != null; i++) {
+            System.gc();
+        }
+
+        assertThat(supplierReference.get()).isNull();
+        assertThat(lazy.get()).isEqualTo(1);
+    }
+
+    @Test
+    void failsWhenSupplierDependsOnItsOwnLazy() {
+        var calls = new AtomicInteger();
+        var other = new AtomicReference<Lazy<String>>();
+        var lazy = Lazy.of("a", () -> {
+            calls.incrementAndGet();
+            return other.get().get();
+        });
+        other.set(Lazy.of("b", lazy::get));
+
+        var error = assertThrows(IllegalStateException.class, lazy::get);
+
+        assertThat(error).hasMessageContaining("Lazy a depends on itself");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
     @Test
     void mapsValue() {
         Lazy<String> lazyString = Lazy.of(() -> value);
@@ -183,4 +228,137 @@ public class LazyTest {
 
         verify(supplier, times(1)).get();
     }
+
+    @Test
+    void filtersValueLazily() {
+        var lazy = Lazy.of(() -> value);
+
+        Lazy<Optional<String>> o1 = lazy.filterLazily((s) -> s.length() == value.length());
+        Lazy<Optional<String>> o2 = lazy.filterLazily((s) -> false);
+
+        assertThat(o1.get()).isEqualTo(Optional.of(value));
+        assertThat(o2.get()).isEqualTo(Optional.empty());
+        assertThat(o1.map(o -> o.map(Integer::valueOf)).get()).isEqualTo(Optional.of(1));
+    }
+
+    @Test
+    void doesNotCallSupplierOrPredicateWhenFilteringLazilyUntilGet() {
+        var supplier = mock(Supplier.class);
+        var predicate = mock(Predicate.class);
+        Lazy lazy = Lazy.of(supplier);
+
+        Lazy filtered = lazy.filterLazily(predicate);
+
+        verifyZeroInteractions(supplier);
+        verifyZeroInteractions(predicate);
+    }
+
+    @Test
+    void callsSupplierAndPredicateJustOnceWhenFilteringLazily() {
+        var supplier = mock(Supplier.class);
+        when(supplier.get()).thenReturn(value);
+        var predicate = mock(Predicate.class);
+        when(predicate.test(any())).thenReturn(true);
+        Lazy lazy = Lazy.of(supplier);
+        Lazy filtered = lazy.filterLazily(predicate);
+
+        filtered.get();
+        filtered.get();
+        lazy.filterLazily(predicate).get();
+
+        verify(supplier, times(1)).get();
+        verify(predicate, times(2)).test(value);
+    }
+
+    @Test
+    void zipsValues() {
+        var number = Lazy.of(() -> 2);
+        var text = Lazy.of(() -> value);
+
+        assertThat(number.zipWith(text, (n, s) -> s.repeat(n)).get()).isEqualTo("11");
+        assertThat(Lazy.zip(FunList.of(text, text.map(s -> s + s))).get()).isEqualTo(FunList.of("1", "11"));
+    }
+
+    @Test
+    void doesNotCallZippedExpressionsUntilGet() {
+        var expression = mock(Supplier.class);
+        var combiner = mock(BiFunction.class);
+        Lazy lazy = Lazy.of(expression);
+
+        Lazy zipped = lazy.zipWith(lazy, combiner);
+        Lazy zippedList = Lazy.zip(FunList.of(lazy, lazy));
+
+        verifyZeroInteractions(expression);
+        verifyZeroInteractions(combiner);
+    }
+
+    @Test
+    void recordsInitializationAndWaitEvents() throws Exception {
+        var initStarted = new CountDownLatch(1);
+        var lazy = Lazy.of("config", () -> {
+            initStarted.countDown();
+            sleep(200);
+            return value;
+        });
+        var bothDone = new CountDownLatch(2);
+        var dumped = new CountDownLatch(1);
+        Runnable getAndStayAlive = () -> {
+            lazy.get();
+            bothDone.countDown();
+            awaitQuietly(dumped);
+        };
+        var initializer = new Thread(getAndStayAlive, "initializer");
+        var waiter = new Thread(getAndStayAlive, "waiter");
+
+        try (var recording = new Recording()) {
+            recording.enable(LazyInitEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(LazyWaitEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            initializer.start();
+            initStarted.await();
+            waiter.start();
+            bothDone.await();
+            recording.stop();
+
+            var file = Files.createTempFile("lazy", ".jfr");
+            recording.dump(file);
+            dumped.countDown();
+            initializer.join();
+            waiter.join();
+            var events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+
+            var initEvent = single(events, "pl.com.bottega.funplay.LazyInit");
+            var waitEvent = single(events, "pl.com.bottega.funplay.LazyWait");
+            assertThat(initEvent.getString("name")).isEqualTo("config");
+            assertThat(initEvent.getThread().getJavaName()).isEqualTo("initializer");
+            assertThat(initEvent.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+            assertThat(waitEvent.getString("name")).isEqualTo("config");
+            assertThat(waitEvent.getThread().getJavaName()).isEqualTo("waiter");
+            assertThat(waitEvent.getThread("initializingThread").getJavaName()).isEqualTo("initializer");
+            assertThat(waitEvent.getClass("supplierClass").getName()).isEqualTo(initEvent.getClass("supplierClass").getName());
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var matching = events.stream().filter(e -> e.getEventType().getName().equals(name)).toArray(RecordedEvent[]::new);
+        assertThat(matching.length).isEqualTo(1);
+        return matching[0];
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }